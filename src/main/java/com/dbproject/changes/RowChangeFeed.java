@@ -0,0 +1,206 @@
+package com.dbproject.changes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.dbproject.dao.RowChangeDAO;
+import com.dbproject.domain.RowChange;
+
+/**
+ * Polls the trigger-maintained row_changes log and hands the new rows to in-process subscribers in batches.
+ * Every node runs its own feed against the shared database, so writes made by any node reach every node's
+ * caches. Each subscription keeps its own cursor (last delivered id); persisting it and passing it back to
+ * {@link #subscribe(RowChangeListener, long)} resumes after a restart or outage. A cursor that has fallen
+ * behind changes.retention-days is told through {@link RowChangeListener#onGap(long, long)}.
+ * <p>
+ * Ids are handed out at insert time, not commit time, so a missing id may still be an open transaction.
+ * Each row records the snapshot xmax of the transaction that wrote it; a cursor only moves past a missing id
+ * once row_changes_horizon() (the oldest running transaction) has reached the xmax of the row after the gap,
+ * i.e. when every transaction that could still commit that id has finished. A long transaction therefore
+ * delays the feed rather than losing its changes.
+ */
+@Component
+@Log
+public class RowChangeFeed {
+
+    private static final Duration FIRST_RETRY_BACKOFF = Duration.ofSeconds(1);
+
+    private final RowChangeDAO rowChangeDAO;
+    private final int batchSize;
+    private final long retentionDays;
+    private final Duration maxRetryBackoff;
+    private final Clock clock;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public RowChangeFeed(final RowChangeDAO rowChangeDAO,
+                         @Value("${changes.batch-size:500}") final int batchSize,
+                         @Value("${changes.retention-days:7}") final long retentionDays,
+                         @Value("${changes.max-retry-backoff-ms:300000}") final long maxRetryBackoffMs){
+        this(rowChangeDAO, batchSize, retentionDays, Duration.ofMillis(maxRetryBackoffMs), Clock.systemUTC());
+    }
+
+    RowChangeFeed(RowChangeDAO rowChangeDAO, int batchSize, long retentionDays, Duration maxRetryBackoff, Clock clock){
+        this.rowChangeDAO = rowChangeDAO;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.clock = clock;
+    }
+
+    // only changes made from now on
+    public Subscription subscribe(RowChangeListener listener) {
+        return subscribe(listener, rowChangeDAO.findLatestId());
+    }
+
+    // every change with id greater than afterId, 0 replays the whole log
+    public Subscription subscribe(RowChangeListener listener, long afterId) {
+        Subscription subscription = new Subscription(listener, afterId);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public void unsubscribe(Subscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    // synchronized so the scheduler and a manual poll never hand out the same batch twice
+    @Scheduled(fixedDelayString = "${changes.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        Instant now = clock.instant();
+        // subscriptions backing off after a failure sit this poll out, so they don't drag everyone's re-read back
+        List<Subscription> ready = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.retryAt == null || !now.isBefore(subscription.retryAt)) {
+                ready.add(subscription);
+            }
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+        // read before the rows: anything finished by then is visible to findAfter below
+        long horizon = rowChangeDAO.findCommitHorizon();
+        long oldest = rowChangeDAO.findOldestId();
+        if (oldest > 0) {
+            ready.removeIf(subscription -> !catchUpToOldest(subscription, oldest, now));
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+        long from = ready.stream().mapToLong(Subscription::getCursor).min().getAsLong();
+        List<RowChange> batch;
+        do {
+            batch = rowChangeDAO.findAfter(from, batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            for (Subscription subscription : ready) {
+                // a subscription that failed or stopped at a gap earlier in this poll is behind this batch,
+                // it picks up again from its own cursor on the next poll
+                if (subscription.getCursor() >= from) {
+                    deliver(subscription, batch, horizon, now);
+                }
+            }
+            from = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == batchSize);
+    }
+
+    // every node prunes by age rather than by its own cursors, which say nothing about the other nodes
+    @Scheduled(fixedDelayString = "${changes.prune-interval-ms:3600000}")
+    public void prune() {
+        int deleted = rowChangeDAO.deleteOlderThan(retentionDays);
+        if (deleted > 0) {
+            log.info("pruned " + deleted + " row change(s) older than " + retentionDays + " day(s)");
+        }
+    }
+
+    // ids below the oldest row may have been pruned unseen; returns false when the subscriber failed to take the gap
+    private boolean catchUpToOldest(Subscription subscription, long oldest, Instant now) {
+        long cursor = subscription.getCursor();
+        if (cursor >= oldest - 1) {
+            return true;
+        }
+        log.warning("row change subscriber at id " + cursor + " missed ids " + (cursor + 1) + ".." + (oldest - 1)
+                + ", they are no longer in row_changes");
+        try {
+            subscription.listener.onGap(cursor + 1, oldest - 1);
+        } catch (RuntimeException e) {
+            failed(subscription, now, e);
+            return false;
+        }
+        subscription.cursor = oldest - 1;
+        return true;
+    }
+
+    private void deliver(Subscription subscription, List<RowChange> batch, long horizon, Instant now) {
+        long cursor = subscription.getCursor();
+        List<RowChange> pending = new ArrayList<>();
+        long expected = cursor + 1;
+        // batch is ordered by id, take the changes after the cursor up to the first gap that may still commit
+        for (RowChange change : batch) {
+            if (change.getId() < expected) {
+                continue;
+            }
+            if (change.getId() > expected && change.getSnapshotXmax() != null && horizon < change.getSnapshotXmax()) {
+                break;
+            }
+            pending.add(change);
+            expected = change.getId() + 1;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            subscription.listener.onChanges(pending);
+        } catch (RuntimeException e) {
+            failed(subscription, now, e);
+            return;
+        }
+        subscription.cursor = pending.get(pending.size() - 1).getId();
+        subscription.failures = 0;
+        subscription.retryAt = null;
+    }
+
+    // cursor stays put, the same changes are retried once the doubling backoff has passed
+    private void failed(Subscription subscription, Instant now, RuntimeException e) {
+        subscription.failures++;
+        Duration backoff = FIRST_RETRY_BACKOFF.multipliedBy(1L << Math.min(subscription.failures - 1, 20));
+        if (backoff.compareTo(maxRetryBackoff) > 0) {
+            backoff = maxRetryBackoff;
+        }
+        subscription.retryAt = now.plus(backoff);
+        log.log(Level.WARNING, "row change listener failed after id " + subscription.getCursor()
+                + ", retrying in " + backoff, e);
+    }
+
+    public static class Subscription {
+
+        private final RowChangeListener listener;
+        private volatile long cursor;
+        // only touched inside poll()
+        private int failures;
+        private Instant retryAt;
+
+        private Subscription(RowChangeListener listener, long cursor) {
+            this.listener = listener;
+            this.cursor = cursor;
+        }
+
+        // id of the last change delivered to the listener, store it to resume later
+        public long getCursor() {
+            return cursor;
+        }
+    }
+
+}
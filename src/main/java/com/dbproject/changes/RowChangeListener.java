@@ -0,0 +1,16 @@
+package com.dbproject.changes;
+
+import java.util.List;
+
+import com.dbproject.domain.RowChange;
+
+// receives row_changes in id order; throwing leaves the cursor where it was so the batch is redelivered
+@FunctionalInterface
+public interface RowChangeListener {
+    void onChanges(List<RowChange> changes);
+
+    // changes fromId..toId were pruned before this subscriber saw them, flush whatever depends on them;
+    // throwing keeps the cursor before the gap, like onChanges
+    default void onGap(long fromId, long toId) {
+    }
+}
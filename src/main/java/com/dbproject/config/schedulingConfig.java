@@ -0,0 +1,10 @@
+package com.dbproject.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// turns on @Scheduled methods such as RowChangeFeed.poll
+@Configuration
+@EnableScheduling
+public class schedulingConfig {
+}
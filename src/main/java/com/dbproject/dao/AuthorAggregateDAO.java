@@ -0,0 +1,13 @@
+package com.dbproject.dao;
+
+import java.util.List;
+
+import com.dbproject.domain.AuthorAggregate;
+
+public interface AuthorAggregateDAO {
+    // saves the author and all of its books in one transaction, books are sent as a single batch
+    public void create(AuthorAggregate aggregate);
+
+    // same as create but for many aggregates, authors go in one batch and books in another
+    public void createMany(List<AuthorAggregate> aggregates);
+}
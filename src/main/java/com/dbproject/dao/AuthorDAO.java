@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import com.dbproject.domain.Author;
+import com.dbproject.domain.AuthorStats;
 
 public interface AuthorDAO {
     public void create(Author author);
@@ -12,4 +13,9 @@ public interface AuthorDAO {
 
     public List<Author> findMany();
     public void update(Author author, Long id);
+
+    // reads the author_stats summary row instead of counting books
+    public Optional<AuthorStats> findStats(long authorId);
+
+    public List<AuthorStats> findManyStats();
 } 
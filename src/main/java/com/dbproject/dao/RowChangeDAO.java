@@ -0,0 +1,22 @@
+package com.dbproject.dao;
+
+import java.util.List;
+
+import com.dbproject.domain.RowChange;
+
+public interface RowChangeDAO {
+    // changes with id greater than afterId, oldest first, at most limit rows
+    public List<RowChange> findAfter(long afterId, int limit);
+
+    // id of the newest change or 0 when the log is empty
+    public long findLatestId();
+
+    // id of the oldest change still in the log or 0 when the log is empty
+    public long findOldestId();
+
+    // oldest transaction id still running, compared against RowChange.snapshotXmax
+    public long findCommitHorizon();
+
+    // removes changes recorded more than days ago by the database clock, returns how many
+    public int deleteOlderThan(long days);
+}
@@ -0,0 +1,85 @@
+package com.dbproject.dao.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dbproject.dao.AuthorAggregateDAO;
+import com.dbproject.domain.Author;
+import com.dbproject.domain.AuthorAggregate;
+import com.dbproject.domain.Book;
+
+@Component
+public class AuthorAggregateDAOImpl implements AuthorAggregateDAO {
+
+    static final String INSERT_AUTHOR_SQL = "INSERT INTO authors (id, name, age) VALUES(?, ?, ?)";
+    static final String INSERT_AUTHOR_STATS_SQL = "INSERT INTO author_stats (author_id, book_count) VALUES(?, ?)";
+    static final String INSERT_BOOK_SQL = "INSERT INTO Books (isbn, title, author_id) VALUES(?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuthorAggregateDAOImpl(final JdbcTemplate jdbcTemplate){
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // @Transactional binds one connection to the thread, so every JdbcTemplate call below shares it
+    // and any DataAccessException (e.g. a duplicate isbn in the batch) rolls back the author as well
+    @Override
+    @Transactional
+    public void create(AuthorAggregate aggregate) {
+        createMany(List.of(aggregate));
+    }
+
+    @Override
+    @Transactional
+    public void createMany(List<AuthorAggregate> aggregates) {
+        if (aggregates.isEmpty()) {
+            return;
+        }
+        // books of an aggregate belong to its author; check every book before touching any of them
+        // so a rejected call leaves the caller's objects exactly as they were
+        for (AuthorAggregate aggregate : aggregates) {
+            Long authorId = aggregate.getAuthor().getId();
+            for (Book book : booksOf(aggregate)) {
+                if (book.getAuthorId() != null && !book.getAuthorId().equals(authorId)) {
+                    throw new IllegalArgumentException("book " + book.getIsbn() + " belongs to author "
+                            + book.getAuthorId() + ", not to aggregate author " + authorId);
+                }
+            }
+        }
+        for (AuthorAggregate aggregate : aggregates) {
+            for (Book book : booksOf(aggregate)) {
+                if (book.getAuthorId() == null) {
+                    book.setAuthorId(aggregate.getAuthor().getId());
+                }
+            }
+        }
+        List<Object[]> authorArgs = new ArrayList<>(aggregates.size());
+        List<Object[]> authorStatsArgs = new ArrayList<>(aggregates.size());
+        List<Object[]> bookArgs = new ArrayList<>();
+        for (AuthorAggregate aggregate : aggregates) {
+            Author author = aggregate.getAuthor();
+            List<Book> books = booksOf(aggregate);
+            authorArgs.add(new Object[]{author.getId(), author.getName(), author.getAge()});
+            // the whole aggregate is new, so its book count is known up front
+            authorStatsArgs.add(new Object[]{author.getId(), (long) books.size()});
+            for (Book book : books) {
+                bookArgs.add(new Object[]{book.getIsbn(), book.getTitle(), book.getAuthorId()});
+            }
+        }
+        // authors first so fk_author is satisfied when the books batch runs
+        jdbcTemplate.batchUpdate(INSERT_AUTHOR_SQL, authorArgs);
+        jdbcTemplate.batchUpdate(INSERT_AUTHOR_STATS_SQL, authorStatsArgs);
+        if (!bookArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BOOK_SQL, bookArgs);
+        }
+    }
+
+    private static List<Book> booksOf(AuthorAggregate aggregate) {
+        return aggregate.getBooks() == null ? List.of() : aggregate.getBooks();
+    }
+
+}
@@ -10,9 +10,11 @@ import org.springframework.jdbc.core.RowMapper;
 
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.dbproject.dao.AuthorDAO;
 import com.dbproject.domain.Author;
+import com.dbproject.domain.AuthorStats;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -27,10 +29,13 @@ public class AuthorDAOImpl implements AuthorDAO {
     }
 
     @Override
+    @Transactional
     public void create(Author author){
         jdbcTemplate.update("INSERT INTO authors (id, name, age) VALUES(?, ?, ?)", 
         author.getId(),author.getName(), author.getAge()
         );
+        // every author starts with a stats row so BookDAOImpl only ever has to UPDATE it
+        jdbcTemplate.update("INSERT INTO author_stats (author_id, book_count) VALUES(?, 0)", author.getId());
     }
 
     // it will rather returns a one Author or Empty as Optional rather than null which is type safe
@@ -52,6 +57,18 @@ public class AuthorDAOImpl implements AuthorDAO {
         );
     }
 
+    @Override
+    public Optional<AuthorStats> findStats(long authorId) {
+        List<AuthorStats> results = jdbcTemplate.query("SELECT * FROM author_stats WHERE author_id = ? LIMIT 1",
+                new AuthorStatsDAOMapper(), authorId);
+        return results.stream().findFirst();
+    }
+
+    @Override
+    public List<AuthorStats> findManyStats() {
+        return jdbcTemplate.query("SELECT * FROM author_stats", new AuthorStatsDAOMapper());
+    }
+
     public static class AuthorDAOMapper implements RowMapper<Author>{
 
         @Override
@@ -68,4 +85,15 @@ public class AuthorDAOImpl implements AuthorDAO {
 
     }
 
+    public static class AuthorStatsDAOMapper implements RowMapper<AuthorStats>{
+
+        @Override
+        public AuthorStats mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return AuthorStats.builder()
+                    .authorId(rs.getLong("author_id"))
+                    .bookCount(rs.getLong("book_count"))
+                    .build();
+        }
+    }
+
 }
@@ -6,10 +6,12 @@ import com.dbproject.dao.BookDAO;
 import com.dbproject.domain.Book;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Component
@@ -21,11 +23,14 @@ public class BookDAOImpl implements BookDAO {
         this.jdbcTemplate = jdbcTemplate;
     }
 
+    // author_stats is adjusted in the same transaction so it never disagrees with books
     @Override
+    @Transactional
     public void create(Book book) {
         jdbcTemplate.update(
                 "INSERT INTO Books (isbn, title, author_id) VALUES(?, ?, ?)",
                 book.getIsbn(), book.getTitle(), book.getAuthorId());
+        adjustBookCount(book.getAuthorId(), 1);
     }
 
 
@@ -43,9 +48,35 @@ public class BookDAOImpl implements BookDAO {
     }
 
     @Override
+    @Transactional
     public void update(Book book, String isbn) {
+        // FOR UPDATE keeps a concurrent update from moving the book between our read and write
+        List<Long> previousAuthor = jdbcTemplate.queryForList(
+                "SELECT author_id FROM books WHERE isbn = ? FOR UPDATE", Long.class, isbn);
         jdbcTemplate.update("UPDATE books SET isbn = ?, title = ?, author_id = ? WHERE isbn = ?",
                 book.getIsbn(), book.getTitle(), book.getAuthorId(), isbn);
+        if (!previousAuthor.isEmpty() && !Objects.equals(previousAuthor.get(0), book.getAuthorId())) {
+            Long from = previousAuthor.get(0);
+            Long to = book.getAuthorId();
+            // author_stats rows are always locked in ascending author id order (AuthorStatsJob does the same),
+            // otherwise an A->B move and a B->A move can deadlock
+            if (to != null && (from == null || to < from)) {
+                adjustBookCount(to, 1);
+                adjustBookCount(from, -1);
+            } else {
+                adjustBookCount(from, -1);
+                adjustBookCount(to, 1);
+            }
+        }
+    }
+
+    private void adjustBookCount(Long authorId, int delta) {
+        // books without an author are not counted anywhere
+        if (authorId == null) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE author_stats SET book_count = book_count + ? WHERE author_id = ?",
+                delta, authorId);
     }
 
     public static class BookDaoMapper implements RowMapper<Book>{
@@ -0,0 +1,72 @@
+package com.dbproject.dao.impl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import com.dbproject.dao.RowChangeDAO;
+import com.dbproject.domain.RowChange;
+
+@Component
+public class RowChangeDAOImpl implements RowChangeDAO {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RowChangeDAOImpl(final JdbcTemplate jdbcTemplate){
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<RowChange> findAfter(long afterId, int limit) {
+        return jdbcTemplate.query("SELECT * FROM row_changes WHERE id > ? ORDER BY id LIMIT ?",
+                new RowChangeDAOMapper(), afterId, limit);
+    }
+
+    @Override
+    public long findLatestId() {
+        Long latest = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM row_changes", Long.class);
+        return latest == null ? 0L : latest;
+    }
+
+    @Override
+    public long findOldestId() {
+        Long oldest = jdbcTemplate.queryForObject("SELECT COALESCE(MIN(id), 0) FROM row_changes", Long.class);
+        return oldest == null ? 0L : oldest;
+    }
+
+    @Override
+    public long findCommitHorizon() {
+        // row_changes_horizon() is defined per database in schema-postgresql.sql / schema-h2.sql
+        Long horizon = jdbcTemplate.queryForObject("SELECT row_changes_horizon()", Long.class);
+        return horizon == null ? 0L : horizon;
+    }
+
+    @Override
+    public int deleteOlderThan(long days) {
+        return jdbcTemplate.update("DELETE FROM row_changes WHERE changed_at < CURRENT_TIMESTAMP - INTERVAL '1' DAY * CAST(? AS INTEGER)",
+                days);
+    }
+
+    public static class RowChangeDAOMapper implements RowMapper<RowChange>{
+
+        @Override
+        public RowChange mapRow(ResultSet rs, int rowNum) throws SQLException {
+            Timestamp changedAt = rs.getTimestamp("changed_at");
+            return RowChange.builder()
+                    .id(rs.getLong("id"))
+                    .tableName(rs.getString("table_name"))
+                    .operation(RowChange.Operation.valueOf(rs.getString("operation")))
+                    .oldKey(rs.getString("old_key"))
+                    .newKey(rs.getString("new_key"))
+                    .changedAt(changedAt == null ? null : changedAt.toLocalDateTime())
+                    .snapshotXmax(rs.getObject("snapshot_xmax", Long.class))
+                    .build();
+        }
+    }
+
+}
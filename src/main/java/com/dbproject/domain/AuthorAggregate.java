@@ -0,0 +1,23 @@
+package com.dbproject.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Singular;
+
+import java.util.List;
+
+// an Author together with the Books that reference it, saved as one unit
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuthorAggregate {
+
+    private Author author;
+
+    @Singular
+    private List<Book> books;
+
+}
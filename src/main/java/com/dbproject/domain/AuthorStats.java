@@ -0,0 +1,18 @@
+package com.dbproject.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one row of author_stats, read in O(1) instead of grouping books on every request
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuthorStats {
+
+    private Long authorId;
+    private Long bookCount;
+
+}
@@ -0,0 +1,29 @@
+package com.dbproject.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// one row of the row_changes log, written by the database triggers on authors and books
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RowChange {
+
+    public enum Operation { INSERT, UPDATE, DELETE }
+
+    private Long id; // increasing, used as the resume cursor
+    private String tableName;
+    private Operation operation;
+    // primary key before / after the change as text, null for INSERT / DELETE respectively
+    private String oldKey;
+    private String newKey;
+    private LocalDateTime changedAt;
+    // see RowChangeFeed, a gap before this row is settled once row_changes_horizon() reaches it
+    private Long snapshotXmax;
+
+}
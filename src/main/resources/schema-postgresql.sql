@@ -0,0 +1,35 @@
+-- runs after schema.sql, see spring.sql.init.schema-locations
+-- the function body is single quoted (not $$) so Spring's script splitter keeps it in one statement
+CREATE OR REPLACE FUNCTION record_row_change() RETURNS TRIGGER LANGUAGE plpgsql AS '
+DECLARE
+    key_column TEXT := TG_ARGV[0];
+    old_key TEXT;
+    new_key TEXT;
+    change_id BIGINT;
+BEGIN
+    IF TG_OP <> ''INSERT'' THEN
+        old_key := to_jsonb(OLD) ->> key_column;
+    END IF;
+    IF TG_OP <> ''DELETE'' THEN
+        new_key := to_jsonb(NEW) ->> key_column;
+    END IF;
+    -- the id is drawn before the snapshot is taken, so any transaction still holding a smaller id
+    -- has a transaction id below snapshot_xmax
+    change_id := nextval(pg_get_serial_sequence(''row_changes'', ''id''));
+    INSERT INTO row_changes (id, table_name, operation, old_key, new_key, snapshot_xmax)
+    VALUES (change_id, TG_TABLE_NAME, TG_OP, old_key, new_key, pg_snapshot_xmax(pg_current_snapshot())::TEXT::BIGINT);
+    RETURN NULL;
+END;
+';
+
+-- oldest transaction id still running; once it passes a row's snapshot_xmax, every id below that row
+-- is either committed and visible or rolled back for good
+CREATE OR REPLACE FUNCTION row_changes_horizon() RETURNS BIGINT LANGUAGE sql VOLATILE AS '
+    SELECT pg_snapshot_xmin(pg_current_snapshot())::TEXT::BIGINT
+';
+
+CREATE TRIGGER "authors_row_changes" AFTER INSERT OR UPDATE OR DELETE ON "authors"
+    FOR EACH ROW EXECUTE FUNCTION record_row_change('id');
+
+CREATE TRIGGER "books_row_changes" AFTER INSERT OR UPDATE OR DELETE ON "books"
+    FOR EACH ROW EXECUTE FUNCTION record_row_change('isbn');
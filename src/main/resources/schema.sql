@@ -1,5 +1,8 @@
+DROP TABLE IF EXISTS "author_stats";
 DROP TABLE IF EXISTS "books";
 DROP TABLE IF EXISTS "authors";
+DROP TABLE IF EXISTS "row_changes";
+DROP TABLE IF EXISTS "job_locks";
 
 CREATE TABLE "authors"(
 
@@ -19,3 +22,37 @@ CREATE TABLE "books"(
 );
 
 --CREATE INDEX "isbnIndex" ON "books(isbn)";
+
+-- per-author aggregates kept in step by AuthorDAOImpl / BookDAOImpl, rebuilt by AuthorStatsJob
+-- ON UPDATE CASCADE follows AuthorDAO.update when it changes an author's id
+CREATE TABLE "author_stats"(
+
+    "author_id" BIGINT NOT NULL,
+    "book_count" BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT "author_stats_pkey" PRIMARY KEY ("author_id"),
+    CONSTRAINT "fk_author_stats" FOREIGN KEY(author_id) REFERENCES authors(id) ON UPDATE CASCADE ON DELETE CASCADE
+);
+
+-- one row per scheduled job, SELECT ... FOR UPDATE on it keeps the job to one node at a time
+CREATE TABLE "job_locks"(
+
+    "name" TEXT NOT NULL,
+    CONSTRAINT "job_locks_pkey" PRIMARY KEY ("name")
+);
+
+INSERT INTO "job_locks" ("name") VALUES ('author_stats');
+
+-- change log filled by the triggers in schema-postgresql.sql / schema-h2.sql
+-- "id" is the cursor subscribers resume from
+CREATE TABLE "row_changes"(
+
+    "id" BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    "table_name" TEXT NOT NULL,
+    "operation" TEXT NOT NULL,
+    "old_key" TEXT,
+    "new_key" TEXT,
+    "changed_at" TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- first transaction id not yet assigned when this row took its id, see RowChangeFeed
+    "snapshot_xmax" BIGINT,
+    CONSTRAINT "row_changes_pkey" PRIMARY KEY ("id")
+);
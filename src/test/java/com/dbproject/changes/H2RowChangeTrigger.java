@@ -0,0 +1,57 @@
+package com.dbproject.changes;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * H2 counterpart of the record_row_change() function in schema-postgresql.sql, registered by schema-h2.sql.
+ * Writes one row_changes entry per inserted, updated or deleted row with the primary key before and after.
+ * snapshot_xmax is always 0 and {@link #horizon()} is always past it, so gaps never hold a cursor back here.
+ */
+public class H2RowChangeTrigger implements Trigger {
+
+    private String tableName;
+    private int keyIndex;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) throws SQLException {
+        this.tableName = tableName;
+        // trigger rows are ordered like the table columns, find where the (single column) primary key sits
+        String keyColumn;
+        try (ResultSet keys = conn.getMetaData().getPrimaryKeys(null, schemaName, tableName)) {
+            if (!keys.next()) {
+                throw new SQLException("row change trigger needs a primary key on " + tableName);
+            }
+            keyColumn = keys.getString("COLUMN_NAME");
+        }
+        try (ResultSet columns = conn.getMetaData().getColumns(null, schemaName, tableName, keyColumn)) {
+            if (!columns.next()) {
+                throw new SQLException("column " + keyColumn + " not found on " + tableName);
+            }
+            this.keyIndex = columns.getInt("ORDINAL_POSITION") - 1;
+        }
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        String operation = oldRow == null ? "INSERT" : newRow == null ? "DELETE" : "UPDATE";
+        try (PreparedStatement statement = conn.prepareStatement(
+                "INSERT INTO row_changes (table_name, operation, old_key, new_key, snapshot_xmax) VALUES(?, ?, ?, ?, 0)")) {
+            statement.setString(1, tableName);
+            statement.setString(2, operation);
+            statement.setString(3, oldRow == null ? null : String.valueOf(oldRow[keyIndex]));
+            statement.setString(4, newRow == null ? null : String.valueOf(newRow[keyIndex]));
+            statement.executeUpdate();
+        }
+    }
+
+    // row_changes_horizon() for H2: tests run one writer at a time, so no gap is ever an open transaction
+    public static long horizon() {
+        return Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,108 @@
+package com.dbproject.changes;
+
+import com.dbproject.dao.AuthorDAO;
+import com.dbproject.dao.BookDAO;
+import com.dbproject.dao.TestDataUtil;
+import com.dbproject.domain.Author;
+import com.dbproject.domain.Book;
+import com.dbproject.domain.RowChange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class RowChangeFeedIntegrationTest {
+
+    private final RowChangeFeed underTest;
+    private final AuthorDAO authorDAO;
+    private final BookDAO bookDAO;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public RowChangeFeedIntegrationTest(RowChangeFeed underTest, AuthorDAO authorDAO, BookDAO bookDAO,
+                                        JdbcTemplate jdbcTemplate) {
+        this.underTest = underTest;
+        this.authorDAO = authorDAO;
+        this.bookDAO = bookDAO;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    void testTriggersPublishInsertsAndKeyChangingUpdates(){
+        List<RowChange> received = new CopyOnWriteArrayList<>();
+        underTest.subscribe(received::addAll);
+
+        Author author = TestDataUtil.createTestAuthor();
+        authorDAO.create(author);
+        Book book = TestDataUtil.createTestBook();
+        bookDAO.create(book);
+        String oldIsbn = book.getIsbn();
+        book.setIsbn("NEW-ISBN");
+        bookDAO.update(book, oldIsbn);
+        underTest.poll();
+
+        assertThat(received)
+                .extracting(RowChange::getTableName, RowChange::getOperation, RowChange::getOldKey, RowChange::getNewKey)
+                .containsExactly(
+                        tuple("authors", RowChange.Operation.INSERT, null, "1"),
+                        tuple("books", RowChange.Operation.INSERT, null, "KL#$#8978"),
+                        tuple("books", RowChange.Operation.UPDATE, "KL#$#8978", "NEW-ISBN"));
+    }
+
+    @Test
+    void testSubscriberResumesFromItsCursor(){
+        authorDAO.create(TestDataUtil.createTestAuthor());
+        List<RowChange> first = new CopyOnWriteArrayList<>();
+        RowChangeFeed.Subscription subscription = underTest.subscribe(first::addAll, 0L);
+        underTest.poll();
+        long cursor = subscription.getCursor();
+        underTest.unsubscribe(subscription);
+
+        // written while nobody was listening
+        authorDAO.create(TestDataUtil.createTestAuthor1());
+
+        List<RowChange> resumed = new CopyOnWriteArrayList<>();
+        underTest.subscribe(resumed::addAll, cursor);
+        underTest.poll();
+
+        assertThat(first).extracting(RowChange::getNewKey).containsExactly("1");
+        assertThat(resumed).extracting(RowChange::getNewKey).containsExactly("2");
+    }
+
+    @Test
+    void testSubscriberResumingFromAPrunedCursorIsToldAboutTheGap(){
+        authorDAO.create(TestDataUtil.createTestAuthor());
+        authorDAO.create(TestDataUtil.createTestAuthor1());
+        // the first change has outlived the retention and gets pruned
+        jdbcTemplate.update("UPDATE row_changes SET changed_at = CURRENT_TIMESTAMP - INTERVAL '30' DAY WHERE new_key = '1'");
+        underTest.prune();
+
+        List<String> events = new CopyOnWriteArrayList<>();
+        underTest.subscribe(new RowChangeListener() {
+            @Override
+            public void onChanges(List<RowChange> changes) {
+                changes.forEach(change -> events.add("change " + change.getNewKey()));
+            }
+
+            @Override
+            public void onGap(long fromId, long toId) {
+                events.add("gap " + fromId + ".." + toId);
+            }
+        }, 0L);
+        underTest.poll();
+
+        assertThat(events).containsExactly("gap 1..1", "change 2");
+    }
+}
@@ -0,0 +1,279 @@
+package com.dbproject.changes;
+
+import com.dbproject.dao.RowChangeDAO;
+import com.dbproject.domain.RowChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RowChangeFeedTest {
+
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofMinutes(5);
+
+    @Mock
+    private RowChangeDAO rowChangeDAO;
+
+    private final MutableClock clock = new MutableClock();
+
+    @BeforeEach
+    public void everyGapSettledAndNothingPruned(){
+        lenient().when(rowChangeDAO.findCommitHorizon()).thenReturn(Long.MAX_VALUE);
+        lenient().when(rowChangeDAO.findOldestId()).thenReturn(1L);
+    }
+
+    private RowChangeFeed feed(int batchSize) {
+        return new RowChangeFeed(rowChangeDAO, batchSize, 7L, MAX_RETRY_BACKOFF, clock);
+    }
+
+    private static RowChange change(long id) {
+        return change(id, 0L);
+    }
+
+    private static RowChange change(long id, long snapshotXmax) {
+        return RowChange.builder()
+                .id(id)
+                .tableName("authors")
+                .operation(RowChange.Operation.INSERT)
+                .newKey(String.valueOf(id))
+                .snapshotXmax(snapshotXmax)
+                .build();
+    }
+
+    @Test
+    public void testPollDeliversFullBatchesUntilTheLogIsDrained(){
+        RowChangeFeed underTest = feed(2);
+        when(rowChangeDAO.findAfter(0L, 2)).thenReturn(List.of(change(1), change(2)));
+        when(rowChangeDAO.findAfter(2L, 2)).thenReturn(List.of(change(3)));
+        List<List<RowChange>> received = new ArrayList<>();
+
+        RowChangeFeed.Subscription subscription = underTest.subscribe(received::add, 0L);
+        underTest.poll();
+
+        assertThat(received).containsExactly(List.of(change(1), change(2)), List.of(change(3)));
+        assertThat(subscription.getCursor()).isEqualTo(3L);
+    }
+
+    @Test
+    public void testPollOnlyDeliversChangesAfterEachSubscribersCursor(){
+        RowChangeFeed underTest = feed(10);
+        when(rowChangeDAO.findAfter(1L, 10)).thenReturn(List.of(change(2), change(3)));
+        List<RowChange> behind = new ArrayList<>();
+        List<RowChange> ahead = new ArrayList<>();
+
+        underTest.subscribe(behind::addAll, 1L);
+        underTest.subscribe(ahead::addAll, 2L);
+        underTest.poll();
+
+        assertThat(behind).containsExactly(change(2), change(3));
+        assertThat(ahead).containsExactly(change(3));
+    }
+
+    @Test
+    public void testFailingListenerKeepsItsCursorSoTheBatchIsRetried(){
+        RowChangeFeed underTest = feed(2);
+        when(rowChangeDAO.findAfter(0L, 2)).thenReturn(List.of(change(1), change(2)));
+        when(rowChangeDAO.findAfter(2L, 2)).thenReturn(List.of(change(3)));
+        List<List<RowChange>> received = new ArrayList<>();
+        boolean[] failed = {false};
+
+        RowChangeFeed.Subscription subscription = underTest.subscribe(changes -> {
+            if (!failed[0]) {
+                failed[0] = true;
+                throw new IllegalStateException("cache unavailable");
+            }
+            received.add(changes);
+        }, 0L);
+        underTest.poll();
+
+        // the second batch must not be handed over while the first one is still outstanding
+        assertThat(received).isEmpty();
+        assertThat(subscription.getCursor()).isEqualTo(0L);
+
+        clock.advance(Duration.ofSeconds(1));
+        underTest.poll();
+
+        assertThat(received).containsExactly(List.of(change(1), change(2)), List.of(change(3)));
+        assertThat(subscription.getCursor()).isEqualTo(3L);
+    }
+
+    @Test
+    public void testFailingListenerBacksOffWithoutHoldingOthersBack(){
+        RowChangeFeed underTest = feed(10);
+        when(rowChangeDAO.findAfter(0L, 10)).thenReturn(List.of(change(1)));
+        when(rowChangeDAO.findAfter(1L, 10)).thenReturn(List.of(change(2)));
+        List<RowChange> healthy = new ArrayList<>();
+
+        RowChangeFeed.Subscription broken = underTest.subscribe(changes -> {
+            throw new IllegalStateException("cache unavailable");
+        }, 0L);
+        underTest.subscribe(healthy::addAll, 0L);
+        underTest.poll();
+
+        // still inside the 1s backoff: only the healthy cursor decides where reading starts
+        clock.advance(Duration.ofMillis(500));
+        underTest.poll();
+
+        assertThat(healthy).containsExactly(change(1), change(2));
+        assertThat(broken.getCursor()).isEqualTo(0L);
+        verify(rowChangeDAO).findAfter(0L, 10);
+    }
+
+    @Test
+    public void testMissingIdHoldsTheCursorUntilItsTransactionCanNoLongerCommit(){
+        RowChangeFeed underTest = feed(10);
+        // id 2 belongs to a transaction below xmax 50 that is still running
+        when(rowChangeDAO.findCommitHorizon()).thenReturn(40L, 40L, 50L);
+        when(rowChangeDAO.findAfter(0L, 10)).thenReturn(List.of(change(1), change(3, 50L)));
+        when(rowChangeDAO.findAfter(1L, 10)).thenReturn(List.of(change(3, 50L)));
+        List<RowChange> received = new ArrayList<>();
+
+        RowChangeFeed.Subscription subscription = underTest.subscribe(received::addAll, 0L);
+        underTest.poll();
+        // time alone does not move the cursor past the gap
+        clock.advance(Duration.ofHours(1));
+        underTest.poll();
+
+        assertThat(received).containsExactly(change(1));
+        assertThat(subscription.getCursor()).isEqualTo(1L);
+
+        underTest.poll();
+
+        // every transaction that could have held id 2 has ended and it never showed up, so it rolled back
+        assertThat(received).containsExactly(change(1), change(3, 50L));
+        assertThat(subscription.getCursor()).isEqualTo(3L);
+    }
+
+    @Test
+    public void testLateCommitIsDeliveredInOrder(){
+        RowChangeFeed underTest = feed(10);
+        when(rowChangeDAO.findCommitHorizon()).thenReturn(40L);
+        when(rowChangeDAO.findAfter(0L, 10)).thenReturn(List.of(change(1), change(3, 50L)));
+        when(rowChangeDAO.findAfter(1L, 10)).thenReturn(List.of(change(2), change(3, 50L)));
+        List<RowChange> received = new ArrayList<>();
+
+        underTest.subscribe(received::addAll, 0L);
+        underTest.poll();
+        underTest.poll();
+
+        assertThat(received).containsExactly(change(1), change(2), change(3, 50L));
+    }
+
+    @Test
+    public void testResumingFromAPrunedCursorReportsTheGap(){
+        RowChangeFeed underTest = feed(10);
+        when(rowChangeDAO.findOldestId()).thenReturn(10L);
+        when(rowChangeDAO.findAfter(9L, 10)).thenReturn(List.of(change(10), change(11)));
+        List<String> events = new ArrayList<>();
+
+        RowChangeFeed.Subscription subscription = underTest.subscribe(new RowChangeListener() {
+            @Override
+            public void onChanges(List<RowChange> changes) {
+                changes.forEach(change -> events.add("change " + change.getId()));
+            }
+
+            @Override
+            public void onGap(long fromId, long toId) {
+                events.add("gap " + fromId + ".." + toId);
+            }
+        }, 3L);
+        underTest.poll();
+
+        assertThat(events).containsExactly("gap 4..9", "change 10", "change 11");
+        assertThat(subscription.getCursor()).isEqualTo(11L);
+    }
+
+    @Test
+    public void testFailingGapHandlerKeepsTheCursorBeforeTheGap(){
+        RowChangeFeed underTest = feed(10);
+        when(rowChangeDAO.findOldestId()).thenReturn(10L);
+
+        RowChangeFeed.Subscription subscription = underTest.subscribe(new RowChangeListener() {
+            @Override
+            public void onChanges(List<RowChange> changes) {
+            }
+
+            @Override
+            public void onGap(long fromId, long toId) {
+                throw new IllegalStateException("cache unavailable");
+            }
+        }, 3L);
+        underTest.poll();
+
+        assertThat(subscription.getCursor()).isEqualTo(3L);
+        verify(rowChangeDAO, never()).findAfter(eq(3L), anyInt());
+    }
+
+    @Test
+    public void testPollWithoutSubscribersDoesNotQuery(){
+        RowChangeFeed underTest = feed(10);
+
+        underTest.poll();
+
+        verifyNoInteractions(rowChangeDAO);
+    }
+
+    @Test
+    public void testPruneDeletesChangesOlderThanTheRetention(){
+        RowChangeFeed underTest = feed(10);
+
+        underTest.prune();
+
+        verify(rowChangeDAO).deleteOlderThan(7L);
+    }
+
+    // a clock the test can move forward; zone variants share the same instant
+    private static class MutableClock extends Clock {
+
+        private final AtomicReference<Instant> now;
+        private final ZoneId zone;
+
+        MutableClock() {
+            this(new AtomicReference<>(Instant.parse("2024-01-01T00:00:00Z")), ZoneOffset.UTC);
+        }
+
+        private MutableClock(AtomicReference<Instant> now, ZoneId zone) {
+            this.now = now;
+            this.zone = zone;
+        }
+
+        void advance(Duration duration) {
+            now.updateAndGet(instant -> instant.plus(duration));
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(now, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.dbproject.dao;
+
+import com.dbproject.dao.impl.AuthorAggregateDAOImpl;
+import com.dbproject.domain.AuthorAggregate;
+import com.dbproject.domain.Book;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class AuthorAggregateDAOImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private AuthorAggregateDAOImpl underTest;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> authors;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> stats;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> books;
+
+    @Test
+    public void testThatCreateSendsAuthorAndBooksAsBatches(){
+        Book book1 = TestDataUtil.createTestBook1();
+        book1.setAuthorId(null);
+        AuthorAggregate aggregate = AuthorAggregate.builder()
+                .author(TestDataUtil.createTestAuthor())
+                .book(TestDataUtil.createTestBook())
+                .book(book1)
+                .build();
+
+        underTest.create(aggregate);
+
+        verify(jdbcTemplate).batchUpdate(eq("INSERT INTO authors (id, name, age) VALUES(?, ?, ?)"), authors.capture());
+        verify(jdbcTemplate).batchUpdate(eq("INSERT INTO author_stats (author_id, book_count) VALUES(?, ?)"), stats.capture());
+        verify(jdbcTemplate).batchUpdate(eq("INSERT INTO Books (isbn, title, author_id) VALUES(?, ?, ?)"), books.capture());
+
+        assertThat(authors.getValue()).containsExactly(new Object[]{1L, "Jason", 32});
+        assertThat(stats.getValue()).containsExactly(new Object[]{1L, 2L});
+        // book1 had no author, the aggregate fills in author 1
+        assertThat(books.getValue()).containsExactly(
+                new Object[]{"KL#$#8978", "ANotherONe", 1L},
+                new Object[]{"SO432DFS", "SomeOne", 1L});
+    }
+
+    @Test
+    public void testThatCreateRejectsBookOfAnotherAuthor(){
+        Book unassigned = TestDataUtil.createTestBook();
+        unassigned.setAuthorId(null);
+        // createTestBook1 belongs to author 2
+        AuthorAggregate aggregate = AuthorAggregate.builder()
+                .author(TestDataUtil.createTestAuthor())
+                .book(unassigned)
+                .book(TestDataUtil.createTestBook1())
+                .build();
+
+        assertThatThrownBy(() -> underTest.create(aggregate))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(jdbcTemplate);
+        // the earlier book is not filled in when a later one is rejected
+        assertThat(unassigned.getAuthorId()).isNull();
+    }
+
+    @Test
+    public void testThatCreateWithoutBooksSkipsBookBatch(){
+        AuthorAggregate aggregate = AuthorAggregate.builder()
+                .author(TestDataUtil.createTestAuthor())
+                .build();
+
+        underTest.create(aggregate);
+
+        verify(jdbcTemplate).batchUpdate(eq("INSERT INTO authors (id, name, age) VALUES(?, ?, ?)"), anyList());
+        verify(jdbcTemplate, never()).batchUpdate(eq("INSERT INTO Books (isbn, title, author_id) VALUES(?, ?, ?)"), anyList());
+    }
+
+    @Test
+    public void testThatCreateManyWithNoAggregatesDoesNothing(){
+        underTest.createMany(List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
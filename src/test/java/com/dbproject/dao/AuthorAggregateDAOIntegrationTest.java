@@ -0,0 +1,81 @@
+package com.dbproject.dao;
+
+import com.dbproject.domain.Author;
+import com.dbproject.domain.AuthorAggregate;
+import com.dbproject.domain.Book;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class AuthorAggregateDAOIntegrationTest {
+
+    private final AuthorAggregateDAO underTest;
+    private final AuthorDAO authorDAO;
+    private final BookDAO bookDAO;
+
+    @Autowired
+    public AuthorAggregateDAOIntegrationTest(AuthorAggregateDAO underTest, AuthorDAO authorDAO, BookDAO bookDAO) {
+        this.underTest = underTest;
+        this.authorDAO = authorDAO;
+        this.bookDAO = bookDAO;
+    }
+
+    @Test
+    void testCreateInsertsAuthorWithItsBooks(){
+        Author author = TestDataUtil.createTestAuthor();
+        Book book = TestDataUtil.createTestBook();
+        Book book1 = TestDataUtil.createTestBook1();
+        // left for the aggregate to fill in
+        book1.setAuthorId(null);
+
+        underTest.create(AuthorAggregate.builder().author(author).book(book).book(book1).build());
+
+        assertThat(authorDAO.findOne(author.getId())).contains(author);
+        assertThat(bookDAO.findMany()).hasSize(2).containsExactly(book, book1);
+        assertThat(book1.getAuthorId()).isEqualTo(author.getId());
+        assertThat(authorDAO.findStats(author.getId())).hasValueSatisfying(stats ->
+                assertThat(stats.getBookCount()).isEqualTo(2L));
+    }
+
+    @Test
+    void testCreateManyInsertsEveryAggregate(){
+        Author author = TestDataUtil.createTestAuthor();
+        Author author1 = TestDataUtil.createTestAuthor1();
+        Book book = TestDataUtil.createTestBook();
+        Book book1 = TestDataUtil.createTestBook1();
+
+        underTest.createMany(List.of(
+                AuthorAggregate.builder().author(author).book(book).build(),
+                AuthorAggregate.builder().author(author1).book(book1).build()));
+
+        assertThat(authorDAO.findMany()).hasSize(2).containsExactly(author, author1);
+        assertThat(bookDAO.findMany()).hasSize(2).containsExactly(book, book1);
+    }
+
+    @Test
+    void testCreateRollsBackAuthorWhenABookFails(){
+        Author author = TestDataUtil.createTestAuthor();
+        Book book = TestDataUtil.createTestBook();
+        // same isbn twice violates books_pkey in the middle of the batch
+        Book duplicate = TestDataUtil.createTestBook();
+
+        assertThatThrownBy(() -> underTest.create(
+                AuthorAggregate.builder().author(author).book(book).book(duplicate).build()))
+                .isInstanceOf(DataAccessException.class);
+
+        assertThat(authorDAO.findOne(author.getId())).isEmpty();
+        assertThat(bookDAO.findMany()).isEmpty();
+    }
+}
@@ -77,6 +77,27 @@ public  class AuthorDAOImplTest {
         underTest.findMany();
         verify(jdbcTemplate).query(eq("SELECT * FROM authors"), ArgumentMatchers.<AuthorDAOImpl.AuthorDAOMapper>any());
     }
+    @Test
+    public void testThatCreateAuthorSeedsItsStatsRow(){
+        underTest.create(TestDataUtil.createTestAuthor());
+        verify(jdbcTemplate).update("INSERT INTO author_stats (author_id, book_count) VALUES(?, 0)", 1L);
+    }
+
+    @Test
+    public void testFindStatsGeneratesCorrectSQL(){
+        underTest.findStats(1L);
+        verify(jdbcTemplate).query(
+                eq("SELECT * FROM author_stats WHERE author_id = ? LIMIT 1"),
+                ArgumentMatchers.<AuthorDAOImpl.AuthorStatsDAOMapper>any(),
+                eq(1L));
+    }
+
+    @Test
+    public void testFindManyStatsGeneratesCorrectSQL(){
+        underTest.findManyStats();
+        verify(jdbcTemplate).query(eq("SELECT * FROM author_stats"), ArgumentMatchers.<AuthorDAOImpl.AuthorStatsDAOMapper>any());
+    }
+
     @Test
     public void testUpdateMethodGeneratesCorrectSQL(){
         Author author = TestDataUtil.createTestAuthor();
@@ -1,13 +1,17 @@
 package com.dbproject.dao;
 
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 
 import com.dbproject.domain.Author;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -16,6 +20,8 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import com.dbproject.dao.impl.BookDAOImpl;
 import com.dbproject.domain.Book;
 
+import java.util.List;
+
 @ExtendWith(MockitoExtension.class)
 public class BookDAOImplTest {
 
@@ -59,8 +65,45 @@ public class BookDAOImplTest {
                 , "SO432DFS", "SomeOne", 2L, "SO432DFS" );
     }
 
+    @Test
+    public void testThatCreateBookIncrementsAuthorStats(){
+        underTest.create(TestDataUtil.createTestBook1());
+        verify(jdbcTemplate).update("UPDATE author_stats SET book_count = book_count + ? WHERE author_id = ?", 1, 2L);
+    }
+
+    @Test
+    public void testThatUpdateMovingBookToAnotherAuthorMovesItsCount(){
+        when(jdbcTemplate.queryForList("SELECT author_id FROM books WHERE isbn = ? FOR UPDATE", Long.class, "SO432DFS"))
+                .thenReturn(List.of(1L));
+
+        underTest.update(TestDataUtil.createTestBook1(), "SO432DFS");
 
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update("UPDATE author_stats SET book_count = book_count + ? WHERE author_id = ?", -1, 1L);
+        inOrder.verify(jdbcTemplate).update("UPDATE author_stats SET book_count = book_count + ? WHERE author_id = ?", 1, 2L);
+    }
 
+    @Test
+    public void testThatUpdateMovingBookToALowerAuthorStillLocksStatsInAscendingOrder(){
+        when(jdbcTemplate.queryForList("SELECT author_id FROM books WHERE isbn = ? FOR UPDATE", Long.class, "SO432DFS"))
+                .thenReturn(List.of(3L));
 
+        underTest.update(TestDataUtil.createTestBook1(), "SO432DFS");
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update("UPDATE author_stats SET book_count = book_count + ? WHERE author_id = ?", 1, 2L);
+        inOrder.verify(jdbcTemplate).update("UPDATE author_stats SET book_count = book_count + ? WHERE author_id = ?", -1, 3L);
+    }
+
+    @Test
+    public void testThatUpdateKeepingTheAuthorLeavesStatsAlone(){
+        when(jdbcTemplate.queryForList("SELECT author_id FROM books WHERE isbn = ? FOR UPDATE", Long.class, "SO432DFS"))
+                .thenReturn(List.of(2L));
+
+        underTest.update(TestDataUtil.createTestBook1(), "SO432DFS");
+
+        verify(jdbcTemplate, never()).update(eq("UPDATE author_stats SET book_count = book_count + ? WHERE author_id = ?"),
+                ArgumentMatchers.<Object>any(), ArgumentMatchers.<Object>any());
+    }
 
 }
@@ -3,6 +3,7 @@ package com.dbproject.dao;
 
 import com.dbproject.dao.impl.BookDAOImpl;
 import com.dbproject.domain.Author;
+import com.dbproject.domain.AuthorStats;
 import com.dbproject.domain.Book;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -90,6 +91,27 @@ public class BookDAOIntegrationTest {
 
 
     }
+    @Test
+    void testCreateAndUpdateKeepAuthorStatsInStep(){
+        Author author = TestDataUtil.createTestAuthor();
+        Author author1 = TestDataUtil.createTestAuthor1();
+        authorDAO.create(author);
+        authorDAO.create(author1);
+
+        Book book = TestDataUtil.createTestBook();
+        Book book1 = TestDataUtil.createTestBook1();
+        book1.setAuthorId(author.getId());
+        underTest.create(book);
+        underTest.create(book1);
+
+        // move one of the two books over to author1
+        book1.setAuthorId(author1.getId());
+        underTest.update(book1, book1.getIsbn());
+
+        assertThat(authorDAO.findManyStats()).containsExactlyInAnyOrder(
+                AuthorStats.builder().authorId(author.getId()).bookCount(1L).build(),
+                AuthorStats.builder().authorId(author1.getId()).bookCount(1L).build());
+    }
 }
 /**
  *
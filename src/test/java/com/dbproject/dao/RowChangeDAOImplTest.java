@@ -0,0 +1,54 @@
+package com.dbproject.dao;
+
+import com.dbproject.dao.impl.RowChangeDAOImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class RowChangeDAOImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private RowChangeDAOImpl underTest;
+
+    @Test
+    public void testFindAfterGeneratesCorrectSQL(){
+        underTest.findAfter(7L, 100);
+        verify(jdbcTemplate).query(eq("SELECT * FROM row_changes WHERE id > ? ORDER BY id LIMIT ?"),
+                ArgumentMatchers.<RowChangeDAOImpl.RowChangeDAOMapper>any(), eq(7L), eq(100));
+    }
+
+    @Test
+    public void testFindLatestIdGeneratesCorrectSQL(){
+        underTest.findLatestId();
+        verify(jdbcTemplate).queryForObject("SELECT COALESCE(MAX(id), 0) FROM row_changes", Long.class);
+    }
+
+    @Test
+    public void testFindOldestIdGeneratesCorrectSQL(){
+        underTest.findOldestId();
+        verify(jdbcTemplate).queryForObject("SELECT COALESCE(MIN(id), 0) FROM row_changes", Long.class);
+    }
+
+    @Test
+    public void testFindCommitHorizonGeneratesCorrectSQL(){
+        underTest.findCommitHorizon();
+        verify(jdbcTemplate).queryForObject("SELECT row_changes_horizon()", Long.class);
+    }
+
+    @Test
+    public void testDeleteOlderThanGeneratesCorrectSQL(){
+        underTest.deleteOlderThan(7L);
+        verify(jdbcTemplate).update("DELETE FROM row_changes WHERE changed_at < CURRENT_TIMESTAMP - INTERVAL '1' DAY * CAST(? AS INTEGER)", 7L);
+    }
+}
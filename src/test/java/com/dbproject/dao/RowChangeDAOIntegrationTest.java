@@ -0,0 +1,42 @@
+package com.dbproject.dao;
+
+import com.dbproject.domain.RowChange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class RowChangeDAOIntegrationTest {
+
+    private final RowChangeDAO underTest;
+    private final AuthorDAO authorDAO;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public RowChangeDAOIntegrationTest(RowChangeDAO underTest, AuthorDAO authorDAO, JdbcTemplate jdbcTemplate) {
+        this.underTest = underTest;
+        this.authorDAO = authorDAO;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    void testDeleteOlderThanOnlyRemovesExpiredChanges(){
+        authorDAO.create(TestDataUtil.createTestAuthor());
+        authorDAO.create(TestDataUtil.createTestAuthor1());
+        // age the first change past the retention
+        jdbcTemplate.update("UPDATE row_changes SET changed_at = CURRENT_TIMESTAMP - INTERVAL '30' DAY WHERE new_key = '1'");
+
+        int deleted = underTest.deleteOlderThan(7L);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(underTest.findAfter(0L, 10)).extracting(RowChange::getNewKey).containsExactly("2");
+    }
+}
@@ -0,0 +1,97 @@
+package com.dbproject.stats;
+
+import com.dbproject.dao.AuthorDAO;
+import com.dbproject.dao.BookDAO;
+import com.dbproject.dao.TestDataUtil;
+import com.dbproject.domain.Author;
+import com.dbproject.domain.AuthorStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class AuthorStatsJobIntegrationTest {
+
+    private final AuthorStatsJob underTest;
+    private final AuthorDAO authorDAO;
+    private final BookDAO bookDAO;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AuthorStatsJobIntegrationTest(AuthorStatsJob underTest, AuthorDAO authorDAO, BookDAO bookDAO,
+                                         JdbcTemplate jdbcTemplate) {
+        this.underTest = underTest;
+        this.authorDAO = authorDAO;
+        this.bookDAO = bookDAO;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    void testVerifyFindsNoDriftWhenWritesGoThroughTheDAOs(){
+        authorDAO.create(TestDataUtil.createTestAuthor());
+        bookDAO.create(TestDataUtil.createTestBook());
+
+        assertThat(underTest.verify()).isEmpty();
+    }
+
+    @Test
+    void testRebuildRepairsRowsChangedBehindTheDAOs(){
+        Author author = TestDataUtil.createTestAuthor();
+        authorDAO.create(author);
+        bookDAO.create(TestDataUtil.createTestBook());
+        // a write that bypasses BookDAOImpl, e.g. a manual import
+        jdbcTemplate.update("INSERT INTO books (isbn, title, author_id) VALUES('IMPORTED', 'Imported', 1)");
+        AuthorStats expected = AuthorStats.builder().authorId(author.getId()).bookCount(2L).build();
+
+        assertThat(underTest.verify()).containsExactly(expected);
+
+        assertThat(underTest.rebuild()).isEqualTo(1);
+
+        assertThat(underTest.verify()).isEmpty();
+        assertThat(authorDAO.findStats(author.getId())).contains(expected);
+    }
+
+    @Test
+    void testRebuildRecreatesMissingRowsAndLeavesCorrectOnesAlone(){
+        Author author = TestDataUtil.createTestAuthor();
+        Author author1 = TestDataUtil.createTestAuthor1();
+        authorDAO.create(author);
+        authorDAO.create(author1);
+        bookDAO.create(TestDataUtil.createTestBook());
+        jdbcTemplate.update("DELETE FROM author_stats WHERE author_id = ?", author.getId());
+
+        assertThat(underTest.rebuild()).isEqualTo(1);
+
+        assertThat(authorDAO.findManyStats()).containsExactlyInAnyOrder(
+                AuthorStats.builder().authorId(author.getId()).bookCount(1L).build(),
+                AuthorStats.builder().authorId(author1.getId()).bookCount(0L).build());
+    }
+
+    @Test
+    void testVerifyAndRepairFixesDriftInOnePass(){
+        Author author = TestDataUtil.createTestAuthor();
+        Author author1 = TestDataUtil.createTestAuthor1();
+        authorDAO.create(author);
+        authorDAO.create(author1);
+        bookDAO.create(TestDataUtil.createTestBook());
+        jdbcTemplate.update("UPDATE author_stats SET book_count = 5");
+
+        // drift comes back in ascending author id order, the order rebuild() locks rows in
+        assertThat(underTest.verify()).extracting(AuthorStats::getAuthorId).containsExactly(1L, 2L);
+
+        underTest.verifyAndRepair();
+
+        assertThat(underTest.verify()).isEmpty();
+        assertThat(authorDAO.findManyStats()).containsExactlyInAnyOrder(
+                AuthorStats.builder().authorId(author.getId()).bookCount(1L).build(),
+                AuthorStats.builder().authorId(author1.getId()).bookCount(0L).build());
+    }
+}
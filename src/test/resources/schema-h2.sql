@@ -0,0 +1,10 @@
+-- local stand-in for schema-postgresql.sql, runs after schema.sql
+-- test-only, H2 and H2RowChangeTrigger are both on the test classpath
+CREATE TRIGGER "authors_row_changes" AFTER INSERT, UPDATE, DELETE ON "authors"
+    FOR EACH ROW CALL 'com.dbproject.changes.H2RowChangeTrigger';
+
+CREATE TRIGGER "books_row_changes" AFTER INSERT, UPDATE, DELETE ON "books"
+    FOR EACH ROW CALL 'com.dbproject.changes.H2RowChangeTrigger';
+
+-- H2 has no transaction snapshots to compare against, the stand-in treats every gap as settled
+CREATE ALIAS "row_changes_horizon" FOR 'com.dbproject.changes.H2RowChangeTrigger.horizon';